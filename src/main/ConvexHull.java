@@ -18,6 +18,12 @@ import java.util.Comparator;
  * The Overall Time Complexity should be: O(n log n).
  */
 public class ConvexHull {
+    /**
+     * Largest coordinate, in absolute value, convexHull() can handle. The turn
+     * test checkCCW() works in int arithmetic, and with coordinates in
+     * [-MAX_COORDINATE, MAX_COORDINATE] its products cannot overflow.
+     */
+    public static final int MAX_COORDINATE = 16383;
 
     /**
      * This method finds the upper tangent between two convex hulls during the merge
@@ -169,6 +175,10 @@ public class ConvexHull {
      * Divide and Conquer. The points get sorted first in to split the points easier
      * to find the meridian.
      * 
+     * The points must not be empty, and their coordinates must be within
+     * MAX_COORDINATE of zero; larger coordinates overflow checkCCW() and can keep
+     * the tangent search from finishing.
+     * 
      * @param points An array of points.
      * @return A list of points that show the Convex Hull.
      */
@@ -179,4 +189,30 @@ public class ConvexHull {
         // Use Divide and Conquer to find the Convex Hull
         return new LinkedList<>(findHull(points, 0, points.length - 1));
     }
+
+    /**
+     * This method sorts the points by x, then y, and builds a HullTree over them:
+     * a merge tree split at the median like convexHull(), where every node keeps
+     * the lower and upper chains of its hull, merged from its two halves at their
+     * bridges. The hull of the points in any x-range can then be found later
+     * without sorting or finding the hull again.
+     * 
+     * @param points An array of points.
+     * @return A HullTree over the points.
+     */
+    public static HullTree convexHullTree(Point[] points) {
+        return new HullTree(points);
+    }
+
+    /**
+     * This method gets ready to peel the convex layers of the points, where each
+     * layer is the Convex Hull of the points left after removing the layers
+     * before it. The points are only sorted once for all of the layers.
+     * 
+     * @param points An array of points.
+     * @return A ConvexLayers that returns one layer at a time.
+     */
+    public static ConvexLayers convexLayers(Point[] points) {
+        return new ConvexLayers(points);
+    }
 }
@@ -1,5 +1,7 @@
 package main;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -173,4 +175,106 @@ public class ConvexHullUtil {
         }
     }
 
+    /**
+     * This method is the same turn test as checkCCW() but exact for every int
+     * coordinate. The differences are taken in long arithmetic and the two
+     * products are compared as 128 bit values, since a product of two differences
+     * can need up to 64 bits.
+     *
+     * @param a First point
+     * @param b Second point
+     * @param c Third point
+     * @return 1 - if counterclockwise turn.
+     *         -1 - if clockwise turn.
+     *         0 - if collinear.
+     */
+    public static long crossProduct(Point a, Point b, Point c) {
+        return crossProduct(a.x, a.y, b.x, b.y, c.x, c.y);
+    }
+
+    /**
+     * This method is crossProduct() for points given by their coordinates, for
+     * callers that keep coordinates in arrays rather than as Point objects.
+     *
+     * @param ax x value of the first point
+     * @param ay y value of the first point
+     * @param bx x value of the second point
+     * @param by y value of the second point
+     * @param cx x value of the third point
+     * @param cy y value of the third point
+     * @return 1 - if counterclockwise turn.
+     *         -1 - if clockwise turn.
+     *         0 - if collinear.
+     */
+    public static long crossProduct(int ax, int ay, int bx, int by, int cx, int cy) {
+        long abX = (long) bx - ax;
+        long abY = (long) by - ay;
+        long acX = (long) cx - ax;
+        long acY = (long) cy - ay;
+        long high1 = Math.multiplyHigh(abX, acY);
+        long high2 = Math.multiplyHigh(abY, acX);
+        if (high1 != high2) {
+            return Long.compare(high1, high2);
+        }
+        return Long.compareUnsigned(abX * acY, abY * acX);
+    }
+
+    /**
+     * Method that compares two points by x value, breaking ties by y value. This
+     * is the order monotoneChain() expects its points in.
+     *
+     * @param a First point
+     * @param b Second point
+     * @return Negative, zero or positive as a is before, equal to or after b.
+     */
+    public static int compareXY(Point a, Point b) {
+        return a.x != b.x ? Integer.compare(a.x, b.x) : Integer.compare(a.y, b.y);
+    }
+
+    /**
+     * This method finds the Convex Hull of points that are already sorted with
+     * compareXY() by building the lower and upper chains in one pass each.
+     * Collinear points on the edges are left out, and duplicate points or points
+     * sharing an x value are handled, so this is used to merge hulls that are not
+     * separated by x.
+     *
+     * @param points     An array of points sorted with compareXY().
+     * @param indexLeft  Index of the first point to use.
+     * @param indexRight Index of the last point to use.
+     * @return A list of points representing the Convex Hull, counterclockwise
+     *         starting from the "west" most point.
+     */
+    public static List<Point> monotoneChain(Point[] points, int indexLeft, int indexRight) {
+        int n = indexRight - indexLeft + 1;
+        if (n <= 0) {
+            return new ArrayList<>();
+        }
+        Point[] hull = new Point[2 * n];
+        int size = 0;
+
+        // Lower chain, west to east
+        for (int i = indexLeft; i <= indexRight; i++) {
+            while (size >= 2 && crossProduct(hull[size - 2], hull[size - 1], points[i]) <= 0) {
+                size--;
+            }
+            hull[size++] = points[i];
+        }
+
+        // Upper chain, east to west
+        int lowerSize = size + 1;
+        for (int i = indexRight - 1; i >= indexLeft; i--) {
+            while (size >= lowerSize && crossProduct(hull[size - 2], hull[size - 1], points[i]) <= 0) {
+                size--;
+            }
+            hull[size++] = points[i];
+        }
+
+        // The last point repeats the first, unless every point was the same
+        size = Math.max(1, size - 1);
+        if (size == 2 && compareXY(hull[0], hull[1]) == 0) {
+            size = 1;
+        }
+        return new ArrayList<>(Arrays.asList(hull).subList(0, size));
+    }
+
 }
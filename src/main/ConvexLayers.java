@@ -0,0 +1,83 @@
+package main;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class peels a set of points into its convex layers (onion peeling): the
+ * first layer is the Convex Hull of the points, the second layer is the Convex
+ * Hull of the points left after removing the first, and so on.
+ *
+ * Rather than sorting and finding the hull from scratch for every layer, the
+ * points are sorted once into a HullTree. Each layer is the hull of the tree,
+ * and removing it only merges again the nodes above the removed points, so the
+ * cost of a layer depends on its size and the height of the tree rather than
+ * on n. Layers are returned one at a time, so callers can stop after the first
+ * k layers without paying for the rest.
+ *
+ * Points lying on an edge of a layer without being one of its corners are left
+ * for a later layer. Likewise, a point repeated k times is a corner of a layer
+ * only once: each layer removes a single copy, so its copies end up in k
+ * different layers, and its depth counts the copies as well as the layers
+ * around it.
+ */
+public class ConvexLayers implements Iterator<List<Point>> {
+    private final HullTree tree; // Points not peeled yet
+    private int depth; // Number of layers returned so far
+
+    /**
+     * Constructor that sorts the points once and gets ready to peel them. The
+     * given array is not modified.
+     *
+     * @param points An array of points.
+     */
+    public ConvexLayers(Point[] points) {
+        this.tree = new HullTree(points);
+    }
+
+    /**
+     * This method checks whether any points are left to peel.
+     *
+     * @return True if there is another layer.
+     */
+    @Override
+    public boolean hasNext() {
+        return tree.size() > 0;
+    }
+
+    /**
+     * This method peels the next layer.
+     *
+     * @return A list of points representing the layer, counterclockwise starting
+     *         from the "west" most point.
+     * @throws NoSuchElementException if every point has been peeled.
+     */
+    @Override
+    public List<Point> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Every layer has already been peeled.");
+        }
+        depth++;
+        return tree.removeHull();
+    }
+
+    /**
+     * This method returns how many layers have been peeled so far, which is the
+     * depth of the points in the last layer returned by next().
+     *
+     * @return The number of layers peeled.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * This method returns how many points are left to peel.
+     *
+     * @return The number of points not in any layer returned so far.
+     */
+    public int remaining() {
+        return tree.size();
+    }
+}
@@ -0,0 +1,360 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coordinator for finding the Convex Hull of a large set of points across
+ * several worker processes.
+ *
+ * The scheme behind the sharded Convex Hull for a points file of n points:
+ * <ul>
+ * <li>Split the file into k shards and launch one HullWorker JVM per shard.
+ * <li>Each worker finds the Convex Hull of its shard and sends back only the
+ * hull over a local socket.
+ * <li>Merge the partial hulls into one Convex Hull.
+ * </ul>
+ * Shards are slices of the file rather than x-ranges, so the partial hulls
+ * usually overlap. They are merged by chaining all of their points together,
+ * which does not need the x-separation mergeHulls() assumes.
+ * If a worker dies before sending its hull, the coordinator finds the hull of
+ * that shard itself while the other workers carry on. The whole run is bounded
+ * by the timeout: a shard with no hull by then, from either its worker or the
+ * coordinator, fails the run rather than being waited on.
+ */
+public class HullCoordinator {
+    private final Path input; // Binary points file to find the Convex Hull of
+    private final int shardCount; // Number of shards (and worker processes)
+    private final long timeoutMs; // How long a whole run may take
+    private final List<Integer> failedShards = Collections.synchronizedList(new ArrayList<>()); // Shards hulled here on the last run
+
+    /**
+     * Constructor for a coordinator over a points file.
+     *
+     * @param input      Path to the binary points file.
+     * @param shardCount Number of shards, one worker process is launched per shard.
+     * @param timeoutMs  How long a run may take, in milliseconds.
+     * @throws IllegalArgumentException if shardCount or timeoutMs is not positive.
+     */
+    public HullCoordinator(Path input, int shardCount, long timeoutMs) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards must be positive.");
+        }
+        if (timeoutMs <= 0) {
+            throw new IllegalArgumentException("The timeout must be positive.");
+        }
+        this.input = input;
+        this.shardCount = shardCount;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * This method writes points to a binary points file as (x, y) int pairs, the
+     * format read by HullWorker.loadShard().
+     *
+     * @param output Path of the file to write.
+     * @param points An array of points.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writePoints(Path output, Point[] points) throws IOException {
+        try (OutputStream file = Files.newOutputStream(output)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file));
+            for (Point p : points) {
+                out.writeInt(p.x);
+                out.writeInt(p.y);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * This method merges partial hulls whose x-ranges may overlap into a single
+     * Convex Hull. The points of every partial hull are gathered, sorted and
+     * chained with ConvexHullUtil.monotoneChain(), which handles shared points and
+     * shared x values, and only costs the total size of the partial hulls.
+     *
+     * @param hulls A list of partial Convex Hulls.
+     * @return A list of points representing the merged Convex Hull.
+     */
+    public static LinkedList<Point> mergePartialHulls(List<List<Point>> hulls) {
+        List<Point> points = new ArrayList<>();
+        for (List<Point> hull : hulls) {
+            points.addAll(hull);
+        }
+        Point[] sorted = points.toArray(new Point[0]);
+        Arrays.sort(sorted, ConvexHullUtil::compareXY);
+
+        return new LinkedList<>(ConvexHullUtil.monotoneChain(sorted, 0, sorted.length - 1));
+    }
+
+    /**
+     * This method returns the shards whose worker failed during the last run and
+     * were hulled by the coordinator instead.
+     *
+     * @return A sorted list of shard indexes.
+     */
+    public List<Integer> getFailedShards() {
+        List<Integer> shards = new ArrayList<>(failedShards);
+        Collections.sort(shards);
+        return shards;
+    }
+
+    /**
+     * This method finds the class path to start a worker with: the location this
+     * class was loaded from, followed by the coordinator's own class path. The
+     * location is needed when the coordinator is loaded by a custom class loader,
+     * such as a test runner's.
+     *
+     * @return The class path for a worker process.
+     */
+    protected static String workerClassPath() {
+        String classPath = System.getProperty("java.class.path");
+        try {
+            CodeSource source = HullWorker.class.getProtectionDomain().getCodeSource();
+            if (source == null || source.getLocation() == null) {
+                return classPath; // Loaded by the boot class loader or without a known location
+            }
+            return Path.of(source.getLocation().toURI()) + File.pathSeparator + classPath;
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException | SecurityException e) {
+            return classPath; // Location is not a local file
+        }
+    }
+
+    /**
+     * This method launches the worker process for a shard. The worker is started
+     * with the same Java installation and class path as the coordinator.
+     *
+     * @param port       Port the coordinator is listening on.
+     * @param shardIndex Index of the shard the worker should load.
+     * @return The worker process.
+     * @throws IOException if the process cannot be started.
+     */
+    protected Process launchWorker(int port, int shardIndex) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", workerClassPath(),
+                HullWorker.class.getName(), InetAddress.getLoopbackAddress().getHostAddress(),
+                String.valueOf(port), input.toString(), String.valueOf(shardIndex), String.valueOf(shardCount))
+                .inheritIO()
+                .start();
+    }
+
+    /**
+     * This method accepts worker connections until the server socket is closed.
+     * Each connection is read on its own thread so a slow worker does not hold
+     * up the others. Connections are kept so run() can close them when it ends,
+     * and one accepted after that is closed straight away.
+     *
+     * @param server      Socket the workers connect to.
+     * @param results     One pending hull per shard.
+     * @param connections Accepted connections that may still be open.
+     */
+    private void acceptHulls(ServerSocket server, List<CompletableFuture<List<Point>>> results,
+            List<Socket> connections) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                synchronized (connections) {
+                    if (server.isClosed()) {
+                        socket.close(); // run() has already closed the others
+                        return;
+                    }
+                    connections.add(socket);
+                }
+                Thread reader = new Thread(() -> readHull(socket, results));
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                return; // Server socket was closed
+            }
+        }
+    }
+
+    /**
+     * This method reads a single hull from a worker and acknowledges it. A worker
+     * that fails partway through is left to be caught by its process exiting.
+     *
+     * @param socket  Connection to the worker.
+     * @param results One pending hull per shard.
+     */
+    private void readHull(Socket socket, List<CompletableFuture<List<Point>>> results) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            int shardIndex = in.readInt();
+            int size = in.readInt();
+            if (shardIndex < 0 || shardIndex >= shardCount || size < 0) {
+                return; // Not a hull from one of our workers
+            }
+            List<Point> hull = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                hull.add(new Point(in.readInt(), in.readInt()));
+            }
+            results.get(shardIndex).complete(hull);
+
+            socket.getOutputStream().write(1); // Let the worker exit
+            socket.getOutputStream().flush();
+        } catch (IOException e) {
+            // The worker died before sending its whole hull
+        }
+    }
+
+    /**
+     * This method finds the hull of a failed shard on a thread of its own, so the
+     * coordinator keeps collecting the hulls of the other workers meanwhile.
+     *
+     * @param shardIndex Index of the shard whose worker failed.
+     * @param result     Pending hull of the shard, completed with the local hull.
+     * @param cause      Why the worker failed.
+     */
+    private void hullLocally(int shardIndex, CompletableFuture<List<Point>> result, Exception cause) {
+        System.err.println("Shard " + shardIndex + " failed (" + cause + "), finding its hull locally.");
+        failedShards.add(shardIndex);
+        Thread fallback = new Thread(() -> {
+            try {
+                result.complete(HullWorker.hullShard(HullWorker.loadShard(input, shardIndex, shardCount)));
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        fallback.setDaemon(true);
+        fallback.start();
+    }
+
+    /**
+     * This method finds the Convex Hull of the points file by launching one
+     * worker per shard and merging the hulls they send back. Shards whose worker
+     * dies are hulled by the coordinator itself, as soon as the worker exits.
+     *
+     * The timeout covers the whole run, local hulls included. If any shard has
+     * no hull when it runs out, the workers are stopped and a TimeoutException
+     * is thrown; a slow worker is not replaced, since hulling its shard here
+     * would take about as long again.
+     *
+     * @return A list of points that show the Convex Hull.
+     * @throws IOException          if the coordinator cannot listen for workers or
+     *                              read a failed shard itself.
+     * @throws InterruptedException if interrupted while waiting for workers.
+     * @throws TimeoutException     if some shard is not hulled within the timeout.
+     */
+    public LinkedList<Point> run() throws IOException, InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<CompletableFuture<List<Point>>> results = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            results.add(new CompletableFuture<>());
+        }
+        Process[] workers = new Process[shardCount];
+        failedShards.clear();
+
+        List<Socket> connections = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(0, shardCount, InetAddress.getLoopbackAddress())) {
+            Thread acceptor = new Thread(() -> acceptHulls(server, results, connections));
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            // Launch one worker per shard; a worker that exits before its hull is
+            // acknowledged has failed, and its shard is hulled here instead
+            for (int i = 0; i < shardCount; i++) {
+                CompletableFuture<List<Point>> result = results.get(i);
+                int shardIndex = i;
+                try {
+                    workers[i] = launchWorker(server.getLocalPort(), i);
+                    workers[i].onExit().thenRun(() -> {
+                        if (!result.isDone()) {
+                            hullLocally(shardIndex, result, new IOException("worker exited without a hull"));
+                        }
+                    });
+                } catch (IOException e) {
+                    hullLocally(shardIndex, result, e);
+                }
+            }
+
+            // Collect the partial hulls within what is left of the timeout
+            List<List<Point>> hulls = new ArrayList<>();
+            for (int i = 0; i < shardCount; i++) {
+                try {
+                    long remaining = Math.max(0, deadline - System.nanoTime());
+                    hulls.add(results.get(i).get(remaining, TimeUnit.NANOSECONDS));
+                } catch (ExecutionException e) {
+                    throw new IOException("Shard " + i + " could not be hulled.", e.getCause());
+                } catch (TimeoutException e) {
+                    throw new TimeoutException("Shard " + i + " was not hulled within " + timeoutMs + " ms.");
+                }
+            }
+            return mergePartialHulls(hulls);
+        } finally {
+            // The server socket is closed by now; close every connection so no
+            // reader thread stays blocked on a worker that never sends anything
+            synchronized (connections) {
+                for (Socket socket : connections) {
+                    try {
+                        socket.close();
+                    } catch (IOException e) {
+                        // Already broken, nothing left to release
+                    }
+                }
+            }
+            // Settle every shard first so stopping a worker does not start a local hull
+            for (CompletableFuture<List<Point>> result : results) {
+                result.cancel(false);
+            }
+            for (Process worker : workers) {
+                if (worker != null) {
+                    worker.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    /**
+     * This method finds the Convex Hull of a points file across several worker
+     * processes and outputs the execution time in nanoseconds. If a number of
+     * points is given, a file of that many random points is written first.
+     *
+     * @param args Command-line arguments: input file, number of shards and
+     *             optionally the number of random points to generate.
+     * @throws IOException          if the points file cannot be read or written.
+     * @throws InterruptedException if interrupted while waiting for workers.
+     * @throws TimeoutException     if the workers take longer than ten minutes.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, TimeoutException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: HullCoordinator <input> <shards> [n]");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        int shardCount = Integer.parseInt(args[1]);
+        if (args.length == 3) {
+            writePoints(input, Main.randPoints(Integer.parseInt(args[2])));
+        }
+
+        long startTimeNs = System.nanoTime(); // Measure time in nanoseconds
+
+        List<Point> convexHull = new HullCoordinator(input, shardCount, TimeUnit.MINUTES.toMillis(10)).run();
+
+        long endTimeNs = System.nanoTime();
+
+        System.out.println("Convex Hull points: " + convexHull.size());
+        System.out.println("Experimental Result (ns): " + (endTimeNs - startTimeNs) + " ns");
+    }
+}
@@ -0,0 +1,701 @@
+package main;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class keeps a merge tree of hulls so the hull of any x-range of the
+ * points can be found without sorting or hulling the points again.
+ *
+ * The points are sorted once by x, then y, and split at the median the way
+ * findHull() splits them. Every node keeps the hull of the points under it as
+ * its lower and upper chains (both "west" to "east") of indexes into the sorted
+ * points, packed into one int array, so the index holds no per-node objects.
+ * Two child chains are merged at their bridge, found by a binary search over
+ * both chains (Overmars and van Leeuwen) rather than by walking them, and the
+ * chains are compared with exact turn tests, so shared x values, repeated
+ * points and collinear points are all handled.
+ *
+ * A query for the points with x in [minX, maxX]:
+ * <ul>
+ * <li>Find the range of sorted points with a binary search; O(log n).
+ * <li>Split the range into the O(log n) tree nodes that exactly cover it.
+ * <li>Merge the node hulls from "west" to "east". Each merge finds its bridge
+ * in O(log n) turn tests and keeps the answer as ranges of the node chains
+ * rather than copies, so a query costs O(log^2 n) turn tests plus O(h) to
+ * list the h points of its hull.
+ * </ul>
+ * Every node keeps its own copy of its chains. For points in convex position
+ * each chain is as long as its node, so the tree takes O(n log n) ints in the
+ * worst case; for typical inputs the node hulls are small and it takes O(n).
+ * Points on the hull can also be removed with removeHull(). Only the nodes on
+ * the paths down to the removed points are merged again, which is what lets
+ * ConvexLayers peel layer after layer without sorting again.
+ */
+public class HullTree {
+    // Relative size below which a double result might have the wrong sign; far
+    // above the few units of 2^-53 that the sums in crossesBefore() can be off by
+    private static final double ROUNDING = 1e-12;
+
+    private final Point[] points; // Points sorted by x, then y
+    private final int[] xs; // x coordinates of the sorted points, for binary search
+    private final int[] ys; // y coordinates of the sorted points, for turn tests
+
+    // Node chains: nodes are numbered in pre-order, so the left child of node is
+    // node + 1 and the right child is node + 2 * (size of the left half)
+    private final int[] lowerStart, lowerLength, upperStart, upperLength;
+    private int[] pool; // Packed chains of all nodes
+    private int poolSize;
+    private int compactedSize; // Pool size after the last compact()
+    private int remaining; // Number of points not removed yet
+    private final Chain mergeLeft = new Chain(); // Left chain of the node being merged
+
+    /**
+     * Constructor that sorts the points once and builds the merge tree of their
+     * hulls. The given array is not modified.
+     *
+     * @param points An array of points.
+     */
+    public HullTree(Point[] points) {
+        int n = points.length;
+        this.points = points.clone();
+        Arrays.sort(this.points, ConvexHullUtil::compareXY);
+        this.xs = new int[n];
+        this.ys = new int[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = this.points[i].x;
+            ys[i] = this.points[i].y;
+        }
+
+        int nodes = Math.max(0, 2 * n - 1);
+        lowerStart = new int[nodes];
+        lowerLength = new int[nodes];
+        upperStart = new int[nodes];
+        upperLength = new int[nodes];
+        pool = new int[Math.max(16, 4 * n)];
+        if (n > 0) {
+            build(0, 0, n - 1);
+        }
+        compactedSize = poolSize;
+        remaining = n;
+    }
+
+    /**
+     * This method returns the number of points in the tree that have not been
+     * removed.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return remaining;
+    }
+
+    /**
+     * This method recursively builds the hull of a node from the hulls of its two
+     * halves, splitting at the same median as findHull().
+     *
+     * @param node       Index of the node.
+     * @param indexLeft  Index of the first sorted point under the node.
+     * @param indexRight Index of the last sorted point under the node.
+     */
+    private void build(int node, int indexLeft, int indexRight) {
+        if (indexLeft == indexRight) {
+            // A single point is both chains
+            lowerStart[node] = append(indexLeft);
+            lowerLength[node] = 1;
+            upperStart[node] = append(indexLeft);
+            upperLength[node] = 1;
+            return;
+        }
+
+        int median = (indexLeft + indexRight) / 2;
+        int leftNode = node + 1;
+        int rightNode = node + 2 * (median - indexLeft + 1);
+        build(leftNode, indexLeft, median);
+        build(rightNode, median + 1, indexRight);
+        mergeNode(node, leftNode, rightNode);
+    }
+
+    /**
+     * This method sets the chains of a node by merging the chains of its two
+     * halves. If one half has no points left, the node shares the chains of the
+     * other half instead of copying them.
+     *
+     * @param node      Index of the node.
+     * @param leftNode  Index of the left half.
+     * @param rightNode Index of the right half.
+     */
+    private void mergeNode(int node, int leftNode, int rightNode) {
+        if (lowerLength[leftNode] == 0 || lowerLength[rightNode] == 0) {
+            int source = lowerLength[leftNode] == 0 ? rightNode : leftNode;
+            lowerStart[node] = lowerStart[source];
+            lowerLength[node] = lowerLength[source];
+            upperStart[node] = upperStart[source];
+            upperLength[node] = upperLength[source];
+            return;
+        }
+
+        lowerStart[node] = poolSize;
+        lowerLength[node] = mergeChains(lowerStart[leftNode], lowerLength[leftNode],
+                lowerStart[rightNode], lowerLength[rightNode], 1);
+        upperStart[node] = poolSize;
+        upperLength[node] = mergeChains(upperStart[leftNode], upperLength[leftNode],
+                upperStart[rightNode], upperLength[rightNode], -1);
+    }
+
+    /**
+     * This method appends a single point index to the pool.
+     *
+     * @param index Index of a sorted point.
+     * @return The position of the index in the pool.
+     */
+    private int append(int index) {
+        if (poolSize == pool.length) {
+            pool = Arrays.copyOf(pool, pool.length * 2);
+        }
+        pool[poolSize] = index;
+        return poolSize++;
+    }
+
+    /**
+     * This method merges the chains of two halves and appends the merged chain
+     * to the end of the pool.
+     *
+     * @param leftStart   Start of the left chain in the pool.
+     * @param leftLength  Length of the left chain.
+     * @param rightStart  Start of the right chain in the pool.
+     * @param rightLength Length of the right chain.
+     * @param turn        1 for lower chains, -1 for upper chains.
+     * @return The length of the merged chain.
+     */
+    private int mergeChains(int leftStart, int leftLength, int rightStart, int rightLength, int turn) {
+        mergeLeft.clear();
+        mergeLeft.add(leftStart, leftLength);
+        int[] bridge = findBridge(mergeLeft, rightStart, rightLength, turn);
+        int start = poolSize;
+        for (int i = 0; i <= bridge[0]; i++) {
+            append(pool[leftStart + i]);
+        }
+        for (int i = bridge[1]; i < rightLength; i++) {
+            append(pool[rightStart + i]);
+        }
+        return poolSize - start;
+    }
+
+    /**
+     * This method finds the bridge between two chains, where every point of the
+     * left chain comes before every point of the right chain in sorted order.
+     * The bridge is the edge of the merged chain that joins them.
+     *
+     * A point is taken from what is left of each chain, and the line through
+     * them is checked against their neighbors. The points are taken next to
+     * where the chains meet first and then further out by doubling steps, up to
+     * the middle of what is left, since bridges are usually near the split. A
+     * neighbor on the outside of the line (below it for lower chains) rules out
+     * part of one chain:
+     * <ul>
+     * <li>Outside behind the left point or ahead of the right point: the bridge
+     * lies that way on that chain.
+     * <li>Outside ahead of the left point only: the bridge is further "east" on
+     * the left chain, and likewise behind the right point only: further "west"
+     * on the right chain.
+     * <li>Outside ahead of the left point and behind the right point: the lines
+     * through the two neighboring edges cross, and the bridge cannot be on the
+     * side of the crossing point away from the chains (see crossesBefore()).
+     * <li>Neither: the line is the bridge.
+     * </ul>
+     * Once the steps reach the middle, each one halves one of the chains, so a
+     * bridge takes O(log n) steps. Points collinear with the bridge are left
+     * out, and a right point equal to the last left point is skipped.
+     *
+     * @param left        The left chain.
+     * @param rightStart  Start of the right chain in the pool.
+     * @param rightLength Length of the right chain.
+     * @param turn        1 for lower chains (counterclockwise turns), -1 for
+     *                    upper chains (clockwise turns).
+     * @return An array containing the last kept index of the left chain and the
+     *         first kept index of the right chain (rightLength if none is kept).
+     */
+    private int[] findBridge(Chain left, int rightStart, int rightLength, int turn) {
+        int leftLength = left.length();
+        int first = 0; // First right point that can be kept
+        if (ConvexHullUtil.compareXY(points[left.get(leftLength - 1)], points[pool[rightStart]]) == 0) {
+            first = 1; // Same point as the last left point
+        }
+        if (first == rightLength) {
+            return new int[] { leftLength - 1, rightLength };
+        }
+
+        int leftLow = 0;
+        int leftHigh = leftLength - 1;
+        int rightLow = first;
+        int rightHigh = rightLength - 1;
+        int step = 0; // How far from the ends facing each other to look
+        while (true) {
+            int i = Math.max((leftLow + leftHigh) >>> 1, leftHigh - step);
+            int j = Math.min((rightLow + rightHigh) >>> 1, rightLow + step);
+            step = Math.min(2 * step + 1, leftLength + rightLength);
+            int p = left.get(i);
+            int q = pool[rightStart + j];
+
+            // Neighbors strictly on the outside of the line p -> q
+            if (i > 0 && turns(p, q, left.get(i - 1), -turn)) {
+                leftHigh = i - 1;
+                continue;
+            }
+            if (j < rightLength - 1 && turns(p, q, pool[rightStart + j + 1], -turn)) {
+                rightLow = j + 1;
+                continue;
+            }
+            boolean leftAhead = i < leftLength - 1 && turns(p, q, left.get(i + 1), -turn);
+            boolean rightBehind = j > first && turns(p, q, pool[rightStart + j - 1], -turn);
+
+            if (leftAhead && rightBehind) {
+                if (crossesBefore(p, left.get(i + 1), pool[rightStart + j - 1], q, pool[rightStart + first])) {
+                    leftLow = i + 1;
+                } else {
+                    rightHigh = j - 1;
+                }
+            } else if (leftAhead) {
+                leftLow = i + 1;
+            } else if (rightBehind) {
+                rightHigh = j - 1;
+            } else {
+                // A chain has no three collinear points, so at most one more point
+                // of each chain can lie on the bridge
+                if (i > 0 && !turns(left.get(i - 1), p, q, turn)) {
+                    i--;
+                    p = left.get(i);
+                }
+                if (j < rightLength - 1 && !turns(p, q, pool[rightStart + j + 1], turn)) {
+                    j++;
+                }
+                return new int[] { i, j };
+            }
+        }
+    }
+
+    /**
+     * This method checks whether the line through sorted points a and b crosses
+     * the line through sorted points c and d before sorted point p, comparing by
+     * x and then y the same way the points are sorted.
+     *
+     * When both neighboring edges at a bridge candidate point outside the line
+     * between them, the edge lines cross. If they cross before the first point
+     * of the right chain, the bridge must be further "east" on the left chain;
+     * otherwise they cross after the last point of the left chain, and the bridge
+     * must be further "west" on the right chain. The crossing point is a fraction
+     * whose parts can need about 100 bits. It is compared in double arithmetic
+     * first, and again exactly with BigInteger only when the rounding error could
+     * change the answer.
+     *
+     * @param a Index of the first point on the first line.
+     * @param b Index of the second point on the first line.
+     * @param c Index of the first point on the second line.
+     * @param d Index of the second point on the second line.
+     * @param p Index of the point to compare against.
+     * @return True if the crossing point comes before p.
+     */
+    private boolean crossesBefore(int a, int b, int c, int d, int p) {
+        // Same sums in doubles, each with a bound on its size to judge the error
+        double abXd = (double) xs[b] - xs[a];
+        double abYd = (double) ys[b] - ys[a];
+        double cdXd = (double) xs[d] - xs[c];
+        double cdYd = (double) ys[d] - ys[c];
+        double acXd = (double) xs[c] - xs[a];
+        double acYd = (double) ys[c] - ys[a];
+        double apXd = (double) xs[a] - xs[p];
+        double denominatorD = abXd * cdYd - abYd * cdXd;
+        double denominatorSize = Math.abs(abXd * cdYd) + Math.abs(abYd * cdXd);
+        double numeratorD = acXd * cdYd - acYd * cdXd;
+        double numeratorSize = Math.abs(acXd * cdYd) + Math.abs(acYd * cdXd);
+        double compareXD = apXd * denominatorD + abXd * numeratorD;
+        double compareXSize = Math.abs(apXd) * denominatorSize + Math.abs(abXd) * numeratorSize;
+        if (Math.abs(denominatorD) > ROUNDING * denominatorSize && Math.abs(compareXD) > ROUNDING * compareXSize) {
+            return (compareXD < 0) != (denominatorD < 0);
+        }
+
+        Point pa = points[a];
+        Point pb = points[b];
+        Point pc = points[c];
+        Point pd = points[d];
+        Point pp = points[p];
+        BigInteger abX = BigInteger.valueOf((long) pb.x - pa.x);
+        BigInteger abY = BigInteger.valueOf((long) pb.y - pa.y);
+        BigInteger cdX = BigInteger.valueOf((long) pd.x - pc.x);
+        BigInteger cdY = BigInteger.valueOf((long) pd.y - pc.y);
+        BigInteger acX = BigInteger.valueOf((long) pc.x - pa.x);
+        BigInteger acY = BigInteger.valueOf((long) pc.y - pa.y);
+
+        // Crossing point is a + (b - a) * t, with t = numerator / denominator
+        BigInteger denominator = abX.multiply(cdY).subtract(abY.multiply(cdX));
+        BigInteger numerator = acX.multiply(cdY).subtract(acY.multiply(cdX));
+        int sign = denominator.signum();
+
+        // Compare (crossing point - p) * denominator with zero, x first then y
+        int compareX = BigInteger.valueOf((long) pa.x - pp.x).multiply(denominator)
+                .add(abX.multiply(numerator)).signum() * sign;
+        if (compareX != 0) {
+            return compareX < 0;
+        }
+        return BigInteger.valueOf((long) pa.y - pp.y).multiply(denominator)
+                .add(abY.multiply(numerator)).signum() * sign < 0;
+    }
+
+    /**
+     * This method checks whether sorted points a -> b -> c strictly turn the
+     * given way.
+     *
+     * @param a    Index of the first sorted point.
+     * @param b    Index of the second sorted point.
+     * @param c    Index of the third sorted point.
+     * @param turn 1 for counterclockwise, -1 for clockwise.
+     * @return True if the points turn the given way, false if they turn the other
+     *         way or are collinear.
+     */
+    private boolean turns(int a, int b, int c, int turn) {
+        return ConvexHullUtil.crossProduct(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]) == turn;
+    }
+
+    /**
+     * This method collects the nodes that exactly cover a range of sorted points,
+     * from "west" to "east".
+     *
+     * @param node       Index of the current node.
+     * @param indexLeft  Index of the first sorted point under the node.
+     * @param indexRight Index of the last sorted point under the node.
+     * @param from       Index of the first sorted point in the range.
+     * @param to         Index of the last sorted point in the range.
+     * @param nodes      List the covering nodes are added to.
+     */
+    private void collectNodes(int node, int indexLeft, int indexRight, int from, int to, List<Integer> nodes) {
+        if (to < indexLeft || indexRight < from || lowerLength[node] == 0) {
+            return; // Node is outside the range or has no points left
+        }
+        if (from <= indexLeft && indexRight <= to) {
+            nodes.add(node); // Node is inside the range
+            return;
+        }
+        int median = (indexLeft + indexRight) / 2;
+        collectNodes(node + 1, indexLeft, median, from, to, nodes);
+        collectNodes(node + 2 * (median - indexLeft + 1), median + 1, indexRight, from, to, nodes);
+    }
+
+    /**
+     * This method merges the chain of a node onto a chain being built from "west"
+     * to "east". The chain being built is cut back to the bridge and the kept
+     * part of the node chain is added as a range, without copying either.
+     *
+     * @param chain The chain being built.
+     * @param start Start of the node chain in the pool.
+     * @param count Length of the node chain.
+     * @param turn  1 for lower chains, -1 for upper chains.
+     */
+    private void mergeOnto(Chain chain, int start, int count, int turn) {
+        int[] bridge = findBridge(chain, start, count, turn);
+        chain.truncate(bridge[0] + 1);
+        if (bridge[1] < count) {
+            chain.add(start + bridge[1], count - bridge[1]);
+        }
+    }
+
+    /**
+     * This method finds the Convex Hull of the points with x in [minX, maxX] by
+     * merging the hulls of the tree nodes covering them.
+     *
+     * @param minX Smallest x value of the range.
+     * @param maxX Largest x value of the range.
+     * @return A list of points representing the Convex Hull, counterclockwise
+     *         starting from the "west" most point, or an empty list if no points
+     *         are in the range.
+     */
+    public List<Point> rangeHull(int minX, int maxX) {
+        int from = lowerBound(minX);
+        int to = maxX == Integer.MAX_VALUE ? points.length - 1 : lowerBound(maxX + 1) - 1;
+        if (from > to) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> nodes = new ArrayList<>();
+        collectNodes(0, 0, points.length - 1, from, to, nodes);
+        if (nodes.isEmpty()) {
+            return new ArrayList<>(); // Every point in the range was removed
+        }
+
+        // Start from the "west" most node and merge the rest onto it
+        Chain lowerChain = new Chain();
+        Chain upperChain = new Chain();
+        int first = nodes.get(0);
+        lowerChain.add(lowerStart[first], lowerLength[first]);
+        upperChain.add(upperStart[first], upperLength[first]);
+        for (int i = 1; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            mergeOnto(lowerChain, lowerStart[node], lowerLength[node], 1);
+            mergeOnto(upperChain, upperStart[node], upperLength[node], -1);
+        }
+
+        // Lower chain "west" to "east", then upper chain back without its ends
+        int[] lower = lowerChain.toArray();
+        int[] upper = upperChain.toArray();
+        List<Point> hull = new ArrayList<>(lower.length + upper.length);
+        for (int index : lower) {
+            hull.add(points[index]);
+        }
+        for (int i = upper.length - 2; i > 0; i--) {
+            hull.add(points[upper[i]]);
+        }
+        return hull;
+    }
+
+    /**
+     * This method finds the Convex Hull of all the points in the tree.
+     *
+     * @return A list of points representing the Convex Hull, counterclockwise
+     *         starting from the "west" most point.
+     */
+    public List<Point> hull() {
+        return rangeHull(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * This method removes the points of the Convex Hull from the tree and returns
+     * them, so the next call returns the hull of the points left over. Points
+     * lying on an edge of the hull without being one of its corners are not
+     * removed.
+     *
+     * A removed point is a corner of the hull of every node above it, so only
+     * the nodes on the paths from the root down to the removed points are merged
+     * again.
+     *
+     * @return A list of points representing the removed Convex Hull,
+     *         counterclockwise starting from the "west" most point, or an empty
+     *         list if no points are left.
+     */
+    public List<Point> removeHull() {
+        List<Point> hull = hull();
+        if (hull.isEmpty()) {
+            return hull;
+        }
+
+        // Both root chains are in sorted order, so merge them into one sorted
+        // list of indexes, dropping the two ends they share
+        int[] removedIndexes = new int[lowerLength[0] + upperLength[0]];
+        int count = 0;
+        int lowerIndex = 0;
+        int upperIndex = 0;
+        while (lowerIndex < lowerLength[0] || upperIndex < upperLength[0]) {
+            int lower = lowerIndex < lowerLength[0] ? pool[lowerStart[0] + lowerIndex] : Integer.MAX_VALUE;
+            int upper = upperIndex < upperLength[0] ? pool[upperStart[0] + upperIndex] : Integer.MAX_VALUE;
+            int next = Math.min(lower, upper);
+            if (lower == next) {
+                lowerIndex++;
+            }
+            if (upper == next) {
+                upperIndex++;
+            }
+            removedIndexes[count++] = next;
+        }
+
+        rebuild(0, 0, points.length - 1, removedIndexes, 0, count - 1);
+        remaining -= count;
+        if (poolSize > 2 * compactedSize) {
+            compact();
+        }
+        return hull;
+    }
+
+    /**
+     * This method merges the chains of every node above a removed point again,
+     * from the bottom up.
+     *
+     * @param node           Index of the current node.
+     * @param indexLeft      Index of the first sorted point under the node.
+     * @param indexRight     Index of the last sorted point under the node.
+     * @param removedIndexes Sorted indexes of the removed points.
+     * @param from           First position in removedIndexes under the node.
+     * @param to             Last position in removedIndexes under the node.
+     */
+    private void rebuild(int node, int indexLeft, int indexRight, int[] removedIndexes, int from, int to) {
+        if (from > to) {
+            return; // No points were removed under this node
+        }
+        if (indexLeft == indexRight) {
+            lowerLength[node] = 0; // The point itself was removed
+            upperLength[node] = 0;
+            return;
+        }
+
+        int median = (indexLeft + indexRight) / 2;
+        int split = from;
+        while (split <= to && removedIndexes[split] <= median) {
+            split++;
+        }
+        int leftNode = node + 1;
+        int rightNode = node + 2 * (median - indexLeft + 1);
+        rebuild(leftNode, indexLeft, median, removedIndexes, from, split - 1);
+        rebuild(rightNode, median + 1, indexRight, removedIndexes, split, to);
+        mergeNode(node, leftNode, rightNode);
+    }
+
+    /**
+     * This method copies the chains of every node into a new pool, dropping the
+     * chains that were replaced by rebuild(). A node that shares the chain of a
+     * child shares the same start and length, so each distinct chain is copied
+     * once and every node using it is pointed at the copy.
+     */
+    private void compact() {
+        int[] oldPool = pool;
+        int[] moved = new int[poolSize]; // New start of each chain copied so far, plus one
+        pool = new int[Math.max(16, 2 * compactedSize)];
+        poolSize = 0;
+        for (int node = 0; node < lowerStart.length; node++) {
+            lowerStart[node] = copyChain(oldPool, moved, lowerStart[node], lowerLength[node]);
+            upperStart[node] = copyChain(oldPool, moved, upperStart[node], upperLength[node]);
+        }
+        compactedSize = poolSize;
+    }
+
+    /**
+     * This method copies a chain from an old pool to the end of the pool, unless
+     * it has already been copied.
+     *
+     * @param oldPool Array holding the chain.
+     * @param moved   New start of each chain already copied, plus one, by its
+     *                start in the old pool; zero if not copied yet.
+     * @param start   Start of the chain in the old pool.
+     * @param length  Length of the chain.
+     * @return The start of the chain in the pool.
+     */
+    private int copyChain(int[] oldPool, int[] moved, int start, int length) {
+        if (length == 0) {
+            return 0; // Node has no points left
+        }
+        if (moved[start] != 0) {
+            return moved[start] - 1; // Shared with a node already copied
+        }
+        if (poolSize + length > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(poolSize + length, pool.length * 2));
+        }
+        System.arraycopy(oldPool, start, pool, poolSize, length);
+        moved[start] = poolSize + 1;
+        poolSize += length;
+        return poolSize - length;
+    }
+
+    /**
+     * This method finds the first sorted point with an x value of at least x.
+     *
+     * @param x The x value to search for.
+     * @return Index of the first such point, or the number of points if none.
+     */
+    private int lowerBound(int x) {
+        int low = 0;
+        int high = xs.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xs[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A chain made of ranges of node chains in the pool, in order. A query keeps
+     * the parts of each node chain it uses as ranges instead of copying them, so
+     * merging a node only costs its bridge.
+     */
+    private class Chain {
+        private int[] starts = new int[8]; // Start of each range in the pool
+        private int[] ends = new int[8]; // Length of the chain up to the end of each range
+        private int ranges; // Number of ranges in use
+
+        /**
+         * This method returns the number of points in the chain.
+         *
+         * @return The length of the chain.
+         */
+        int length() {
+            return ranges == 0 ? 0 : ends[ranges - 1];
+        }
+
+        /**
+         * This method empties the chain.
+         */
+        void clear() {
+            ranges = 0;
+        }
+
+        /**
+         * This method adds a range of the pool to the end of the chain.
+         *
+         * @param start  Start of the range in the pool.
+         * @param length Length of the range.
+         */
+        void add(int start, int length) {
+            if (ranges == starts.length) {
+                starts = Arrays.copyOf(starts, ranges * 2);
+                ends = Arrays.copyOf(ends, ranges * 2);
+            }
+            starts[ranges] = start;
+            ends[ranges] = length() + length;
+            ranges++;
+        }
+
+        /**
+         * This method finds a point of the chain by binary search over its ranges.
+         *
+         * @param index Position in the chain.
+         * @return Index of the sorted point at that position.
+         */
+        int get(int index) {
+            if (ranges == 1) {
+                return pool[starts[0] + index];
+            }
+            int low = 0;
+            int high = ranges - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ends[mid] <= index) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int before = low == 0 ? 0 : ends[low - 1];
+            return pool[starts[low] + index - before];
+        }
+
+        /**
+         * This method cuts the chain down to its first points.
+         *
+         * @param length Number of points to keep.
+         */
+        void truncate(int length) {
+            while (ranges > 0 && (ranges == 1 ? 0 : ends[ranges - 2]) >= length) {
+                ranges--;
+            }
+            if (ranges > 0) {
+                ends[ranges - 1] = length;
+            }
+        }
+
+        /**
+         * This method copies the chain out of its ranges.
+         *
+         * @return An array of the sorted point indexes in the chain.
+         */
+        int[] toArray() {
+            int[] chain = new int[length()];
+            for (int r = 0; r < ranges; r++) {
+                int before = r == 0 ? 0 : ends[r - 1];
+                System.arraycopy(pool, starts[r], chain, before, ends[r] - before);
+            }
+            return chain;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Worker process for the sharded Convex Hull.
+ *
+ * A worker is launched by the HullCoordinator as its own JVM. It loads one
+ * shard of the binary points file, finds the Convex Hull of that shard with
+ * hullShard(), and sends back only the points of its hull over a local socket.
+ * The coordinator then merges the partial hulls.
+ *
+ * The points file is a sequence of (x, y) int pairs as written by
+ * HullCoordinator.writePoints(), so shard i of k holds the points with index
+ * in [i * n / k, (i + 1) * n / k).
+ */
+public class HullWorker {
+
+    /** Number of bytes a single (x, y) point takes up in the points file. */
+    public static final int POINT_BYTES = 8;
+
+    /**
+     * This method loads a single shard of the points file.
+     *
+     * @param input      Path to the binary points file.
+     * @param shardIndex Index of the shard to load.
+     * @param shardCount Total number of shards the file is split into.
+     * @return An array of the points in the shard.
+     * @throws IOException if the file cannot be read.
+     */
+    public static Point[] loadShard(Path input, int shardIndex, int shardCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long total = channel.size() / POINT_BYTES;
+            long start = shardIndex * total / shardCount;
+            long end = (shardIndex + 1) * total / shardCount;
+
+            // Seek to the start of the shard and read only its points
+            channel.position(start * POINT_BYTES);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            Point[] points = new Point[(int) (end - start)];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = new Point(in.readInt(), in.readInt());
+            }
+            return points;
+        }
+    }
+
+    /**
+     * This method finds the Convex Hull of a single shard. The shard is sorted in
+     * place and chained with ConvexHullUtil.monotoneChain() rather than passed to
+     * ConvexHull.convexHull(), since shards are arbitrary slices of the file and
+     * may hold repeated points, collinear points, shared x values and coordinates
+     * far larger than ConvexHull.convexHull() can handle. An empty shard, from a
+     * file with fewer points than shards, has an empty hull.
+     *
+     * @param points The points of the shard, sorted in place.
+     * @return A list of points representing the Convex Hull of the shard.
+     */
+    public static List<Point> hullShard(Point[] points) {
+        Arrays.sort(points, ConvexHullUtil::compareXY);
+        return ConvexHullUtil.monotoneChain(points, 0, points.length - 1);
+    }
+
+    /**
+     * This method writes a hull to the coordinator as the shard index, the number
+     * of points in the hull, and then each (x, y) pair.
+     *
+     * @param out        Stream connected to the coordinator.
+     * @param shardIndex Index of the shard the hull belongs to.
+     * @param hull       Convex Hull of the shard.
+     * @throws IOException if the hull cannot be sent.
+     */
+    public static void writeHull(DataOutputStream out, int shardIndex, List<Point> hull) throws IOException {
+        out.writeInt(shardIndex);
+        out.writeInt(hull.size());
+        for (Point p : hull) {
+            out.writeInt(p.x);
+            out.writeInt(p.y);
+        }
+        out.flush();
+    }
+
+    /**
+     * This method runs a worker: it connects to the coordinator, finds the Convex
+     * Hull of its shard and sends the hull back. The worker waits for the
+     * coordinator to acknowledge the hull before exiting, so a worker that exits
+     * without an acknowledgement is known to have failed.
+     *
+     * @param args Command-line arguments: host, port, input file, shard index and
+     *             shard count.
+     * @throws IOException if the shard cannot be loaded or sent.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            System.err.println("Usage: HullWorker <host> <port> <input> <shardIndex> <shardCount>");
+            System.exit(2);
+        }
+        String host = args[0];
+        int port = Integer.parseInt(args[1]);
+        Path input = Path.of(args[2]);
+        int shardIndex = Integer.parseInt(args[3]);
+        int shardCount = Integer.parseInt(args[4]);
+
+        try (Socket socket = new Socket(host, port)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            // Find the Convex Hull of the shard and send only the hull back
+            Point[] points = loadShard(input, shardIndex, shardCount);
+            List<Point> hull = hullShard(points);
+            writeHull(out, shardIndex, hull);
+
+            in.readByte(); // Wait for the coordinator to acknowledge the hull
+        }
+    }
+}
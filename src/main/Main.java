@@ -1,5 +1,7 @@
 package main;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.LinkedList;
 import java.util.Random;
@@ -37,22 +39,76 @@ public class Main {
         return points;
     }
 
+    /**
+     * This method reads points from a text file with one "x,y" or "x y" pair per
+     * line, and outputs any malformed lines with their line numbers. The points
+     * are checked against the range ConvexHull.convexHull() can handle before any
+     * Point is built.
+     *
+     * @param path Path to the text file.
+     * @return An array of the points read.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if the file has no points, or a point is
+     *                                  outside the range convexHull() can handle.
+     */
+    public static Point[] readPoints(Path path) throws IOException {
+        PointFile file = PointFile.readText(path);
+        for (String line : file.getMalformedLines()) {
+            System.err.println("Skipped " + line);
+        }
+        if (file.getMalformedCount() > file.getMalformedLines().size()) {
+            System.err.println("Skipped " + (file.getMalformedCount() - file.getMalformedLines().size())
+                    + " more malformed lines.");
+        }
+
+        if (file.size() == 0) {
+            throw new IllegalArgumentException(path + " has no points to find the Convex Hull of.");
+        }
+        for (int i = 0; i < file.size(); i++) {
+            if (Math.abs((long) file.xs[i]) > ConvexHull.MAX_COORDINATE
+                    || Math.abs((long) file.ys[i]) > ConvexHull.MAX_COORDINATE) {
+                throw new IllegalArgumentException("Point (" + file.xs[i] + ", " + file.ys[i] + ") is outside the range"
+                        + " the Convex Hull can handle; coordinates must be within " + ConvexHull.MAX_COORDINATE
+                        + " of zero.");
+            }
+        }
+        return file.toPoints();
+    }
+
     /**
      * This method computes and outputs the implementation of the Convex Hull
      * using Divide and Conquer program. It also calculates and outputs the
      * execution time of the program in nanoseconds.
      * 
-     * @param args Command-line arguments.
+     * @param args Command-line arguments: optionally a text file of points to
+     *             use instead of random points.
+     * @throws IOException if the text file cannot be read.
      */
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-
-        // Get the number of n points from the user
-        System.out.print("Enter the number of points (n): ");
-        int n = scanner.nextInt();
-
-        // Generate random points on a 2D plane
-        Point[] points = randPoints(n);
+    public static void main(String[] args) throws IOException {
+        Point[] points;
+        if (args.length > 0) {
+            // Read the points from the given text file
+            try {
+                points = readPoints(Path.of(args[0]));
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                return;
+            }
+        } else {
+            // Get the number of n points from the user
+            Scanner scanner = new Scanner(System.in);
+            System.out.print("Enter the number of points (n): ");
+            int n = scanner.nextInt();
+            scanner.close();
+
+            // Generate random points on a 2D plane
+            points = randPoints(n);
+        }
+        int n = points.length;
+        if (n == 0) {
+            System.err.println("There are no points to find the Convex Hull of.");
+            return;
+        }
 
         // Loop to print n number of points
         // System.out.println("Points (x, y):");
@@ -81,7 +137,5 @@ public class Main {
         // Output time results
         System.out.println("For n = " + n);
         System.out.println("Experimental Result (ns): " + experimentalResultNs + " ns");
-
-        scanner.close();
     }
 }
@@ -0,0 +1,510 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class reads points from a text file into primitive coordinate arrays.
+ *
+ * Every line holds one point as two integers separated by a comma and/or
+ * spaces or tabs, such as "3,-4", "3, -4" or "3 -4". Blank lines and lines
+ * starting with '#' are skipped; anything else is reported as a malformed line
+ * with its line number and left out. Lines end with "\n" or "\r\n"; a '\r'
+ * anywhere else is text like any other, so it cannot hide the rest of a line.
+ *
+ * The scheme behind reading a large file:
+ * <ul>
+ * <li>Split the file into chunks that start and end on line breaks.
+ * <li>Memory-map every chunk and count the lines in it that could hold a point,
+ * on one thread per chunk, then allocate the coordinate arrays once.
+ * <li>Parse every chunk on its own thread straight into its own part of the
+ * arrays, reading the digits from the mapped bytes without creating a String
+ * per line.
+ * <li>Close the gaps left by malformed lines by moving each chunk's points
+ * down, in place, and trim the arrays to the points read.
+ * </ul>
+ * A file without malformed lines is read with a single allocation of the
+ * arrays, so reading n points takes two int arrays of n entries on top of the
+ * mapped file. Only a file with malformed lines pays for one trimming copy.
+ */
+public class PointFile {
+    /** Most malformed lines whose messages are kept; the rest are only counted. */
+    public static final int MAX_REPORTED_LINES = 1000;
+
+    private static final int MIN_CHUNK_BYTES = 1 << 20; // Smaller files are read in one chunk
+    private static final int MAX_CHUNK_BYTES = 1 << 28; // Keeps each mapping well under 2 GB
+
+    public final int[] xs, ys; // Coordinates of the points, in file order
+    private final long malformedCount; // Number of malformed lines
+    private final List<String> malformedLines; // Messages for the first malformed lines
+
+    /**
+     * Constructor for points that have already been read.
+     *
+     * @param xs             x coordinates of the points.
+     * @param ys             y coordinates of the points.
+     * @param malformedCount Number of malformed lines.
+     * @param malformedLines Messages for the first malformed lines.
+     */
+    private PointFile(int[] xs, int[] ys, long malformedCount, List<String> malformedLines) {
+        this.xs = xs;
+        this.ys = ys;
+        this.malformedCount = malformedCount;
+        this.malformedLines = malformedLines;
+    }
+
+    /**
+     * This method returns the number of points read.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * This method returns the number of malformed lines that were left out.
+     *
+     * @return The number of malformed lines.
+     */
+    public long getMalformedCount() {
+        return malformedCount;
+    }
+
+    /**
+     * This method returns a message for each of the first MAX_REPORTED_LINES
+     * malformed lines, such as "Line 12: expected an integer", in line order.
+     *
+     * @return A list of messages.
+     */
+    public List<String> getMalformedLines() {
+        return new ArrayList<>(malformedLines);
+    }
+
+    /**
+     * This method builds the array of points ConvexHull.convexHull() takes.
+     *
+     * @return An array of points.
+     */
+    public Point[] toPoints() {
+        Point[] points = new Point[xs.length];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(xs[i], ys[i]);
+        }
+        return points;
+    }
+
+    /**
+     * This method reads a text file of points using one thread per available
+     * processor.
+     *
+     * @param path Path to the text file.
+     * @return The points read from the file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static PointFile readText(Path path) throws IOException {
+        return readText(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * This method reads a text file of points, parsing chunks of the file in
+     * parallel.
+     *
+     * @param path    Path to the text file.
+     * @param threads Number of threads to parse with.
+     * @return The points read from the file.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if threads is not positive or the file has
+     *                                  more points than fit in an array.
+     */
+    public static PointFile readText(Path path, int threads) throws IOException {
+        return readText(path, threads, 0);
+    }
+
+    /**
+     * This method reads a text file of points, parsing chunks of about the given
+     * size in parallel. Smaller chunks balance the threads better; larger chunks
+     * cost less to set up.
+     *
+     * @param path       Path to the text file.
+     * @param threads    Number of threads to parse with.
+     * @param chunkBytes Size of the chunks in bytes, or 0 to pick one from the
+     *                   size of the file.
+     * @return The points read from the file.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if threads or chunkBytes is out of range,
+     *                                  or the file has more points than fit in an
+     *                                  array.
+     */
+    public static PointFile readText(Path path, int threads, int chunkBytes) throws IOException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+        if (chunkBytes < 0) {
+            throw new IllegalArgumentException("The chunk size cannot be negative.");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = findChunks(channel, threads, chunkBytes);
+            int chunkCount = bounds.length - 1;
+
+            MappedByteBuffer[] bytes = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                bytes[i] = channel.map(FileChannel.MapMode.READ_ONLY, bounds[i], bounds[i + 1] - bounds[i]);
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, chunkCount)));
+            try {
+                // Count the point lines of every chunk to find where its points go
+                List<Future<Integer>> counts = new ArrayList<>();
+                for (MappedByteBuffer chunk : bytes) {
+                    counts.add(executor.submit(() -> countPoints(chunk)));
+                }
+                int[] offsets = new int[chunkCount + 1];
+                for (int i = 0; i < chunkCount; i++) {
+                    long offset = (long) offsets[i] + counts.get(i).get();
+                    if (offset > Integer.MAX_VALUE - 8) {
+                        throw new IllegalArgumentException("The file has too many points to fit in an array.");
+                    }
+                    offsets[i + 1] = (int) offset;
+                }
+
+                // Parse every chunk straight into its part of the arrays
+                int[] xs = new int[offsets[chunkCount]];
+                int[] ys = new int[offsets[chunkCount]];
+                List<Future<Chunk>> futures = new ArrayList<>();
+                for (int i = 0; i < chunkCount; i++) {
+                    MappedByteBuffer chunk = bytes[i];
+                    int offset = offsets[i];
+                    futures.add(executor.submit(() -> parseChunk(chunk, xs, ys, offset)));
+                }
+                Chunk[] chunks = new Chunk[chunkCount];
+                for (int i = 0; i < chunkCount; i++) {
+                    chunks[i] = futures.get(i).get();
+                }
+                return combine(xs, ys, offsets, chunks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading " + path, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Failed to read " + path, e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * This method splits a file into chunks for the threads. Every chunk boundary
+     * is moved forward to just after the next line break so no line is split.
+     *
+     * @param channel    Channel of the file.
+     * @param threads    Number of threads to parse with.
+     * @param chunkBytes Size of the chunks in bytes, or 0 to pick one.
+     * @return An array of chunk boundaries, starting with 0 and ending with the
+     *         size of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private static long[] findChunks(FileChannel channel, int threads, long chunkBytes) throws IOException {
+        long size = channel.size();
+        if (chunkBytes == 0) {
+            chunkBytes = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, size / (4L * threads) + 1));
+        }
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = chunkBytes;
+        while (position < size) {
+            // Find the next line break at or after position
+            long lineEnd = -1;
+            long scan = position;
+            while (lineEnd < 0 && scan < size) {
+                buffer.clear();
+                int read = channel.read(buffer, scan);
+                if (read <= 0) {
+                    break; // The file was cut short while reading
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        lineEnd = scan + i;
+                        break;
+                    }
+                }
+                scan += read;
+            }
+            if (lineEnd < 0 || lineEnd + 1 >= size) {
+                break; // The rest of the file is a single line
+            }
+            bounds.add(lineEnd + 1);
+            position = lineEnd + 1 + chunkBytes;
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+            if (i > 0 && result[i] - result[i - 1] > Integer.MAX_VALUE) {
+                throw new IOException("The line after byte " + result[i - 1] + " is too long to read.");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This method counts the lines of a chunk that could hold a point: every line
+     * that is not blank or a comment. This is the most points the chunk can have,
+     * and exactly how many it has if none of its lines are malformed.
+     *
+     * @param bytes Mapped bytes of the chunk.
+     * @return The number of point lines in the chunk.
+     */
+    private static int countPoints(MappedByteBuffer bytes) {
+        int end = bytes.limit();
+        int position = 0;
+        int count = 0;
+        while (position < end) {
+            position = skipSpaces(bytes, position, end);
+            if (!lineEnds(bytes, position, end) && bytes.get(position) != '#') {
+                count++;
+            }
+            position = nextLine(bytes, position, end);
+        }
+        return count;
+    }
+
+    /**
+     * This method parses one chunk of the file, which starts at the start of a
+     * line. Numbers are read digit by digit from the mapped bytes and written
+     * straight into the coordinate arrays.
+     *
+     * @param bytes  Mapped bytes of the chunk.
+     * @param xs     Array the x coordinates are written to.
+     * @param ys     Array the y coordinates are written to.
+     * @param offset Where the points of the chunk start in the arrays.
+     * @return The number of points and the malformed lines of the chunk, with
+     *         line numbers counted from the start of the chunk.
+     */
+    private static Chunk parseChunk(MappedByteBuffer bytes, int[] xs, int[] ys, int offset) {
+        Chunk chunk = new Chunk();
+        int end = bytes.limit();
+        int position = 0;
+        long[] number = new long[1];
+
+        while (position < end) {
+            chunk.lines++;
+
+            // Skip leading spaces; blank and comment lines hold no point
+            position = skipSpaces(bytes, position, end);
+            if (lineEnds(bytes, position, end) || bytes.get(position) == '#') {
+                position = nextLine(bytes, position, end);
+                continue;
+            }
+
+            // x, then a comma and/or spaces, then y, then only spaces to the end of
+            // the line
+            String error = null;
+            int after = parseInt(bytes, position, end, number);
+            int x = (int) number[0];
+            if (after < 0) {
+                error = after == -1 ? "expected an integer for x" : "x is out of range";
+            } else {
+                position = skipSpaces(bytes, after, end);
+                boolean separated = position > after;
+                if (position < end && bytes.get(position) == ',') {
+                    position = skipSpaces(bytes, position + 1, end);
+                    separated = true;
+                }
+                after = parseInt(bytes, position, end, number);
+                if (!separated) {
+                    error = "expected a comma or space after x";
+                } else if (after < 0) {
+                    error = after == -1 ? "expected an integer for y" : "y is out of range";
+                } else {
+                    position = skipSpaces(bytes, after, end);
+                    if (!lineEnds(bytes, position, end)) {
+                        error = "unexpected text after y";
+                    }
+                }
+            }
+
+            if (error == null) {
+                xs[offset + chunk.size] = x;
+                ys[offset + chunk.size] = (int) number[0];
+                chunk.size++;
+            } else {
+                chunk.malformed(error);
+            }
+            position = nextLine(bytes, position, end);
+        }
+        return chunk;
+    }
+
+    /**
+     * This method parses an optionally signed decimal integer.
+     *
+     * @param bytes    Mapped bytes of the chunk.
+     * @param position Position of the first character of the integer.
+     * @param end      End of the chunk.
+     * @param number   Array whose first element is set to the integer.
+     * @return The position after the integer, -1 if there is no integer there or
+     *         -2 if it does not fit in an int.
+     */
+    private static int parseInt(MappedByteBuffer bytes, int position, int end, long[] number) {
+        boolean negative = false;
+        if (position < end && (bytes.get(position) == '-' || bytes.get(position) == '+')) {
+            negative = bytes.get(position) == '-';
+            position++;
+        }
+
+        int start = position;
+        long value = 0;
+        while (position < end) {
+            int digit = bytes.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+            if (value > 1L + Integer.MAX_VALUE) {
+                return -2;
+            }
+            position++;
+        }
+        if (position == start) {
+            return -1;
+        }
+
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            return -2;
+        }
+        number[0] = value;
+        return position;
+    }
+
+    /**
+     * This method skips spaces and tabs.
+     *
+     * @param bytes    Mapped bytes of the chunk.
+     * @param position Position to start from.
+     * @param end      End of the chunk.
+     * @return The position of the first other character, or end.
+     */
+    private static int skipSpaces(MappedByteBuffer bytes, int position, int end) {
+        while (position < end && (bytes.get(position) == ' ' || bytes.get(position) == '\t')) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * This method checks whether a line ends at a position: at a line break, at
+     * a '\r' of a "\r\n" line break or a '\r' ending the chunk, or at the end of
+     * the chunk. Any other '\r' is text, so a line with more after it is
+     * malformed rather than cut short.
+     *
+     * @param bytes    Mapped bytes of the chunk.
+     * @param position Position in the current line.
+     * @param end      End of the chunk.
+     * @return True if nothing but the line break is left on the line.
+     */
+    private static boolean lineEnds(MappedByteBuffer bytes, int position, int end) {
+        if (position == end || bytes.get(position) == '\n') {
+            return true;
+        }
+        return bytes.get(position) == '\r' && (position + 1 == end || bytes.get(position + 1) == '\n');
+    }
+
+    /**
+     * This method moves to the start of the next line.
+     *
+     * @param bytes    Mapped bytes of the chunk.
+     * @param position Position in the current line.
+     * @param end      End of the chunk.
+     * @return The position after the next line break, or end.
+     */
+    private static int nextLine(MappedByteBuffer bytes, int position, int end) {
+        while (position < end && bytes.get(position) != '\n') {
+            position++;
+        }
+        return Math.min(end, position + 1);
+    }
+
+    /**
+     * This method moves the points of every chunk down to just after the points
+     * of the chunk before, closing the gaps left by malformed lines, and numbers
+     * the malformed lines from the start of the file. If any line was malformed,
+     * the arrays are then trimmed so they hold exactly the points read.
+     *
+     * @param xs      x coordinates, each chunk's starting at its offset.
+     * @param ys      y coordinates, each chunk's starting at its offset.
+     * @param offsets Where the points of each chunk start in the arrays.
+     * @param chunks  The parsed chunks, in file order.
+     * @return The points of the whole file.
+     */
+    private static PointFile combine(int[] xs, int[] ys, int[] offsets, Chunk[] chunks) {
+        int size = 0;
+        long malformedCount = 0;
+        List<String> malformedLines = new ArrayList<>();
+        long firstLine = 1;
+        for (int c = 0; c < chunks.length; c++) {
+            Chunk chunk = chunks[c];
+            if (offsets[c] != size) {
+                System.arraycopy(xs, offsets[c], xs, size, chunk.size);
+                System.arraycopy(ys, offsets[c], ys, size, chunk.size);
+            }
+            size += chunk.size;
+
+            for (int i = 0; i < chunk.errorLines.size() && malformedLines.size() < MAX_REPORTED_LINES; i++) {
+                long line = firstLine + chunk.errorLines.get(i) - 1;
+                malformedLines.add("Line " + line + ": " + chunk.errors.get(i));
+            }
+            malformedCount += chunk.malformedCount;
+            firstLine += chunk.lines;
+        }
+        if (size < xs.length) {
+            // Malformed lines left room for points that were never read
+            xs = Arrays.copyOf(xs, size);
+            ys = Arrays.copyOf(ys, size);
+        }
+        return new PointFile(xs, ys, malformedCount, malformedLines);
+    }
+
+    /**
+     * Number of points and malformed lines parsed from one chunk of the file.
+     */
+    private static class Chunk {
+        int size; // Number of points in the chunk
+        long lines; // Number of lines in the chunk
+        long malformedCount; // Number of malformed lines in the chunk
+        List<Long> errorLines = new ArrayList<>(); // Line numbers within the chunk
+        List<String> errors = new ArrayList<>(); // What is wrong with each line
+
+        /**
+         * This method records the current line as malformed.
+         *
+         * @param error What is wrong with the line.
+         */
+        void malformed(String error) {
+            malformedCount++;
+            if (errors.size() < MAX_REPORTED_LINES) {
+                errorLines.add(lines);
+                errors.add(error);
+            }
+        }
+    }
+}
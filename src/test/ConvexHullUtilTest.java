@@ -85,4 +85,37 @@ public class ConvexHullUtilTest {
                 () -> assertTrue(resultCW < 0, "Expected clockwise turn."),
                 () -> assertEquals(0, resultCollinear, "Expected collinear."));
     }
+
+    /**
+     * Test for monotoneChain() method.
+     * Helps determine if the hull is found when points share x values, repeat or
+     * are collinear.
+     */
+    @Test
+    public void testMonotoneChain() {
+        Point[] points = {
+                new Point(0, 0),
+                new Point(0, 2),
+                new Point(0, 4),
+                new Point(2, 2),
+                new Point(2, 2),
+                new Point(4, 0),
+                new Point(4, 4)
+        };
+
+        List<Point> hull = ConvexHullUtil.monotoneChain(points, 0, points.length - 1);
+
+        List<Point> expectedHull = List.of(
+                new Point(0, 0),
+                new Point(4, 0),
+                new Point(4, 4),
+                new Point(0, 4));
+
+        assertEquals(expectedHull.toString(), hull.toString(), "Hull should be the four corners, counterclockwise.");
+
+        // Test a single repeated point and an empty range
+        Point[] repeated = { new Point(1, 1), new Point(1, 1) };
+        assertEquals(1, ConvexHullUtil.monotoneChain(repeated, 0, 1).size(), "Repeated point should appear once.");
+        assertTrue(ConvexHullUtil.monotoneChain(points, 3, 2).isEmpty(), "Empty range should have an empty hull.");
+    }
 }
@@ -0,0 +1,128 @@
+package test;
+
+import main.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * JUnit tests for the ConvexLayers class.
+ * Test determines if the layers peeled from the tree match peeling by finding
+ * the hull from scratch every time through assertions.
+ */
+public class ConvexLayersTest {
+
+    /**
+     * Helper that peels the layers by finding the hull of the remaining points
+     * from scratch and removing its points, one layer at a time.
+     */
+    private static List<List<Point>> brutePeel(Point[] points) {
+        List<Point> remaining = new ArrayList<>(Arrays.asList(points));
+        List<List<Point>> layers = new ArrayList<>();
+        while (!remaining.isEmpty()) {
+            Point[] sorted = remaining.toArray(new Point[0]);
+            Arrays.sort(sorted, ConvexHullUtil::compareXY);
+            List<Point> layer = ConvexHullUtil.monotoneChain(sorted, 0, sorted.length - 1);
+            layers.add(layer);
+
+            // Remove one copy of every point in the layer
+            Set<Point> removed = new HashSet<>();
+            for (Point corner : layer) {
+                for (Point p : remaining) {
+                    if (!removed.contains(p) && ConvexHullUtil.compareXY(p, corner) == 0) {
+                        removed.add(p);
+                        break;
+                    }
+                }
+            }
+            remaining.removeAll(removed);
+        }
+        return layers;
+    }
+
+    /**
+     * Test for next() method.
+     * Helps ensure nested squares are peeled from the outside in.
+     */
+    @Test
+    public void testNestedSquares() {
+        Point[] points = {
+                new Point(1, 1),
+                new Point(-3, -3),
+                new Point(3, -3),
+                new Point(3, 3),
+                new Point(-3, 3),
+                new Point(-1, -1),
+                new Point(1, -1),
+                new Point(-1, 1),
+                new Point(0, 0)
+        };
+
+        ConvexLayers layers = ConvexHull.convexLayers(points);
+
+        assertEquals("[(-3, -3), (3, -3), (3, 3), (-3, 3)]", layers.next().toString(), "Outer square first.");
+        assertEquals(5, layers.remaining(), "Five points should be left after the outer square.");
+        assertEquals("[(-1, -1), (1, -1), (1, 1), (-1, 1)]", layers.next().toString(), "Inner square second.");
+        assertEquals("[(0, 0)]", layers.next().toString(), "Center point last.");
+        assertEquals(3, layers.depth(), "Three layers should have been peeled.");
+        assertFalse(layers.hasNext(), "No points should be left.");
+        assertThrows(NoSuchElementException.class, layers::next, "Expected NoSuchElementException when empty");
+    }
+
+    /**
+     * Test for next() method with a repeated corner.
+     * Helps ensure each layer removes only one copy of a repeated point, so the
+     * other copy is peeled in the next layer.
+     */
+    @Test
+    public void testRepeatedCorner() {
+        Point[] points = {
+                new Point(0, 0),
+                new Point(4, 0),
+                new Point(4, 4),
+                new Point(0, 4),
+                new Point(4, 4),
+                new Point(2, 2)
+        };
+
+        ConvexLayers layers = ConvexHull.convexLayers(points);
+
+        assertEquals("[(0, 0), (4, 0), (4, 4), (0, 4)]", layers.next().toString(), "Square first.");
+        assertEquals(2, layers.remaining(), "The other copy of (4, 4) should be left.");
+        assertEquals("[(2, 2), (4, 4)]", layers.next().toString(), "Second copy peeled with the center.");
+        assertEquals(2, layers.depth(), "Two layers should have been peeled.");
+        assertFalse(layers.hasNext(), "No points should be left.");
+    }
+
+    /**
+     * Test for next() method on random points.
+     * Uses a small coordinate range so there are many shared x values, repeated
+     * points and collinear points.
+     */
+    @Test
+    public void testRandomLayers() {
+        Random random = new Random(28);
+        for (int trial = 0; trial < 100; trial++) {
+            int n = 1 + random.nextInt(300);
+            Point[] points = new Point[n];
+            for (int i = 0; i < n; i++) {
+                points[i] = new Point(random.nextInt(21) - 10, random.nextInt(21) - 10);
+            }
+
+            List<List<Point>> expectedLayers = brutePeel(points);
+            ConvexLayers layers = new ConvexLayers(points);
+            for (List<Point> expectedLayer : expectedLayers) {
+                assertTrue(layers.hasNext(), "Should have as many layers as peeling from scratch.");
+                assertEquals(expectedLayer.toString(), layers.next().toString(),
+                        "Layer " + layers.depth() + " should match peeling from scratch.");
+            }
+            assertFalse(layers.hasNext(), "Should have as many layers as peeling from scratch.");
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package test;
+
+import main.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * JUnit tests for the HullCoordinator and HullWorker classes.
+ * Test determines if the hull found across worker processes matches the hull
+ * of every point in the file, including when a worker process dies or a shard
+ * is empty, through assertions.
+ */
+public class HullCoordinatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Helper that generates n random points with distinct x coordinates.
+     */
+    private static Point[] distinctPoints(int n, long seed) {
+        Random random = new Random(seed);
+        Set<Integer> xs = new HashSet<>();
+        Point[] points = new Point[n];
+        for (int i = 0; i < n;) {
+            int x = random.nextInt(10000);
+            if (xs.add(x)) {
+                points[i++] = new Point(x, random.nextInt(10000));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Helper that turns a hull into a set of strings so hulls can be compared
+     * regardless of the starting point.
+     */
+    private static Set<String> asSet(List<Point> hull) {
+        Set<String> set = new HashSet<>();
+        for (Point p : hull) {
+            set.add(p.toString());
+        }
+        return set;
+    }
+
+    /**
+     * Helper that finds the hull of every point written to the file at once with
+     * monotoneChain(), independent of how the file is sharded.
+     */
+    private static List<Point> expectedHull(Point[] points) {
+        Point[] sorted = points.clone();
+        Arrays.sort(sorted, ConvexHullUtil::compareXY);
+        return ConvexHullUtil.monotoneChain(sorted, 0, sorted.length - 1);
+    }
+
+    /**
+     * Test for mergePartialHulls() method.
+     * Helps ensure hulls with overlapping x-ranges are merged correctly.
+     */
+    @Test
+    public void testMergeOverlappingHulls() {
+        List<Point> first = new LinkedList<>(List.of(
+                new Point(0, 0),
+                new Point(6, 0),
+                new Point(6, 4),
+                new Point(0, 4)));
+
+        List<Point> second = new LinkedList<>(List.of(
+                new Point(3, -2),
+                new Point(9, 2),
+                new Point(3, 6)));
+
+        List<Point> mergedHull = HullCoordinator.mergePartialHulls(List.of(first, second));
+
+        Set<String> expectedHull = asSet(List.of(
+                new Point(0, 0),
+                new Point(3, -2),
+                new Point(9, 2),
+                new Point(3, 6),
+                new Point(0, 4)));
+
+        assertEquals(expectedHull, asSet(mergedHull), "Merged hull should contain the outer points of both hulls.");
+    }
+
+    /**
+     * Test for loadShard() method.
+     * Helps ensure the shards cover every point in the file exactly once.
+     */
+    @Test
+    public void testLoadShards() throws IOException {
+        Point[] points = distinctPoints(10, 1);
+        Path input = tempDir.resolve("points.bin");
+        HullCoordinator.writePoints(input, points);
+
+        int loaded = 0;
+        for (int i = 0; i < 3; i++) {
+            for (Point p : HullWorker.loadShard(input, i, 3)) {
+                assertEquals(points[loaded].toString(), p.toString(), "Shards should hold the points in file order.");
+                loaded++;
+            }
+        }
+        assertEquals(points.length, loaded, "Shards should cover every point.");
+    }
+
+    /**
+     * Test for run() method.
+     * Helps ensure the hull found by several worker JVMs matches the hull of
+     * every point in the file.
+     */
+    @Test
+    public void testRun() throws Exception {
+        Point[] points = distinctPoints(2000, 2);
+        Path input = tempDir.resolve("points.bin");
+        HullCoordinator.writePoints(input, points);
+
+        HullCoordinator coordinator = new HullCoordinator(input, 3, 60000);
+        List<Point> convexHull = coordinator.run();
+
+        assertTrue(coordinator.getFailedShards().isEmpty(), "Every worker should send back its hull.");
+        assertEquals(asSet(expectedHull(points)), asSet(convexHull),
+                "Hull from the worker JVMs should match the hull of every point.");
+    }
+
+    /**
+     * Test for run() method when a worker dies partway through.
+     * The worker for shard 1 is pointed at a file that does not exist so it
+     * exits after connecting without sending its hull.
+     */
+    @Test
+    public void testRunWorkerDies() throws Exception {
+        Point[] points = distinctPoints(2000, 3);
+        Path input = tempDir.resolve("points.bin");
+        HullCoordinator.writePoints(input, points);
+
+        HullCoordinator coordinator = new HullCoordinator(input, 3, 60000) {
+            @Override
+            protected Process launchWorker(int port, int shardIndex) throws IOException {
+                if (shardIndex != 1) {
+                    return super.launchWorker(port, shardIndex);
+                }
+                String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+                return new ProcessBuilder(java, "-cp", workerClassPath(),
+                        HullWorker.class.getName(), "127.0.0.1", String.valueOf(port),
+                        tempDir.resolve("missing.bin").toString(), "1", "3")
+                        .start();
+            }
+        };
+
+        List<Point> convexHull = coordinator.run();
+
+        assertEquals(List.of(1), coordinator.getFailedShards(), "Only shard 1 should have failed.");
+        assertEquals(asSet(expectedHull(points)), asSet(convexHull),
+                "Failed shard should be hulled by the coordinator.");
+    }
+
+    /**
+     * Test for run() method with a connection that never sends anything.
+     * Helps ensure run() closes every connection it accepted when it ends,
+     * rather than leaving a thread blocked reading it.
+     */
+    @Test
+    public void testRunClosesConnections() throws Exception {
+        Point[] points = distinctPoints(200, 5);
+        Path input = tempDir.resolve("points.bin");
+        HullCoordinator.writePoints(input, points);
+
+        List<Socket> idle = new ArrayList<>();
+        HullCoordinator coordinator = new HullCoordinator(input, 2, 60000) {
+            @Override
+            protected Process launchWorker(int port, int shardIndex) throws IOException {
+                if (shardIndex == 0) {
+                    idle.add(new Socket(InetAddress.getLoopbackAddress(), port));
+                }
+                return super.launchWorker(port, shardIndex);
+            }
+        };
+
+        assertEquals(asSet(expectedHull(points)), asSet(coordinator.run()), "Hull should ignore the idle connection.");
+        try (Socket socket = idle.get(0)) {
+            socket.setSoTimeout(10000);
+            assertEquals(-1, socket.getInputStream().read(), "Idle connection should be closed by run().");
+        }
+    }
+
+    /**
+     * Test for run() method with empty shards.
+     * Helps ensure a file with fewer points than shards, or no points at all,
+     * gives the hull of the points there are.
+     */
+    @Test
+    public void testRunEmptyShards() throws Exception {
+        Point[] points = { new Point(5, -3), new Point(-2147483648, 2147483647) };
+        Path input = tempDir.resolve("points.bin");
+        HullCoordinator.writePoints(input, points);
+
+        HullCoordinator coordinator = new HullCoordinator(input, 4, 60000);
+        List<Point> convexHull = coordinator.run();
+
+        Path empty = tempDir.resolve("empty.bin");
+        HullCoordinator.writePoints(empty, new Point[0]);
+
+        assertAll("Testing test cases for testRunEmptyShards()",
+                () -> assertTrue(coordinator.getFailedShards().isEmpty(), "Empty shards should not fail."),
+                () -> assertEquals(asSet(expectedHull(points)), asSet(convexHull),
+                        "Hull should hold both points."),
+                () -> assertTrue(new HullCoordinator(empty, 2, 60000).run().isEmpty(),
+                        "Empty file should have an empty hull."));
+    }
+
+    /**
+     * Test for run() method when a worker never finishes.
+     * The worker for shard 1 sends its hull to a socket that never acknowledges
+     * it, so it waits forever and run() should give up at the timeout.
+     */
+    @Test
+    public void testRunTimeout() throws Exception {
+        Point[] points = distinctPoints(200, 4);
+        Path input = tempDir.resolve("points.bin");
+        HullCoordinator.writePoints(input, points);
+
+        try (ServerSocket silent = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            HullCoordinator coordinator = new HullCoordinator(input, 2, 3000) {
+                @Override
+                protected Process launchWorker(int port, int shardIndex) throws IOException {
+                    return super.launchWorker(shardIndex == 1 ? silent.getLocalPort() : port, shardIndex);
+                }
+            };
+
+            long startTimeNs = System.nanoTime();
+            assertThrows(TimeoutException.class, coordinator::run, "Expected TimeoutException for a stuck worker");
+            long elapsedMs = (System.nanoTime() - startTimeNs) / 1000000;
+
+            assertTrue(elapsedMs < 10000, "run() should stop at the timeout, took " + elapsedMs + " ms.");
+        }
+    }
+}
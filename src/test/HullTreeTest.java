@@ -0,0 +1,162 @@
+package test;
+
+import main.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit tests for the HullTree class.
+ * Test determines if the hulls of x-ranges found from the merge tree match the
+ * hulls found from scratch through assertions.
+ */
+public class HullTreeTest {
+
+    /**
+     * Helper that finds the hull of the points with x in [minX, maxX] from
+     * scratch.
+     */
+    private static List<Point> bruteRangeHull(Point[] points, int minX, int maxX) {
+        List<Point> inRange = new ArrayList<>();
+        for (Point p : points) {
+            if (p.x >= minX && p.x <= maxX) {
+                inRange.add(p);
+            }
+        }
+        Point[] sorted = inRange.toArray(new Point[0]);
+        Arrays.sort(sorted, ConvexHullUtil::compareXY);
+        return ConvexHullUtil.monotoneChain(sorted, 0, sorted.length - 1);
+    }
+
+    /**
+     * Test for rangeHull() method.
+     * Helps ensure a range query returns the hull of only the points in range.
+     */
+    @Test
+    public void testRangeHull() {
+        Point[] points = {
+                new Point(-6, -4),
+                new Point(-4, -2),
+                new Point(-2, 0),
+                new Point(0, 2),
+                new Point(6, 5),
+                new Point(8, 4),
+                new Point(10, 2),
+                new Point(12, -1)
+        };
+
+        HullTree tree = ConvexHull.convexHullTree(points);
+
+        List<Point> expectedHull = List.of(
+                new Point(0, 2),
+                new Point(10, 2),
+                new Point(8, 4),
+                new Point(6, 5));
+
+        assertEquals(expectedHull.toString(), tree.rangeHull(0, 10).toString(),
+                "Hull should only use points with x in [0, 10].");
+        assertEquals(8, tree.size(), "Tree should hold every point.");
+        assertTrue(tree.rangeHull(1, 5).isEmpty(), "Range without points should have an empty hull.");
+        assertTrue(tree.rangeHull(10, 0).isEmpty(), "Backwards range should have an empty hull.");
+        assertEquals(1, tree.rangeHull(6, 6).size(), "Range with one point should have a one point hull.");
+    }
+
+    /**
+     * Test for rangeHull() and hull() methods on random points.
+     * Uses a small coordinate range so there are many shared x values, repeated
+     * points and collinear points.
+     */
+    @Test
+    public void testRandomRangeHulls() {
+        Random random = new Random(27);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 1 + random.nextInt(200);
+            Point[] points = new Point[n];
+            for (int i = 0; i < n; i++) {
+                points[i] = new Point(random.nextInt(21) - 10, random.nextInt(21) - 10);
+            }
+            HullTree tree = new HullTree(points);
+
+            assertEquals(bruteRangeHull(points, Integer.MIN_VALUE, Integer.MAX_VALUE).toString(),
+                    tree.hull().toString(), "Hull of the tree should match the hull of all points.");
+            for (int query = 0; query < 20; query++) {
+                int minX = random.nextInt(25) - 12;
+                int maxX = minX + random.nextInt(25);
+                assertEquals(bruteRangeHull(points, minX, maxX).toString(), tree.rangeHull(minX, maxX).toString(),
+                        "Range hull should match for x in [" + minX + ", " + maxX + "].");
+            }
+        }
+    }
+
+    /**
+     * Test for rangeHull() method on points near a large circle.
+     * Every point is on a node hull, so the bridges are found deep inside long
+     * chains, and the coordinates are large enough to overflow long products.
+     */
+    @Test
+    public void testLargeRangeHulls() {
+        Random random = new Random(270);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(500);
+            Point[] points = new Point[n];
+            for (int i = 0; i < n; i++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                int radius = random.nextInt(8) == 0 ? 2000000000 : 2147483647;
+                points[i] = new Point((int) (radius * Math.cos(angle)), (int) (radius * Math.sin(angle)));
+            }
+            HullTree tree = new HullTree(points);
+
+            for (int query = 0; query < 20; query++) {
+                int minX = points[random.nextInt(n)].x;
+                int maxX = points[random.nextInt(n)].x;
+                assertEquals(bruteRangeHull(points, Math.min(minX, maxX), Math.max(minX, maxX)).toString(),
+                        tree.rangeHull(Math.min(minX, maxX), Math.max(minX, maxX)).toString(),
+                        "Range hull should match for x in [" + minX + ", " + maxX + "].");
+            }
+        }
+    }
+
+    /**
+     * Test for the HullTree constructor.
+     * Helps ensure the given points are not sorted in place and that an empty
+     * tree has an empty hull.
+     */
+    @Test
+    public void testConstructor() {
+        Point[] points = { new Point(3, 0), new Point(1, 0), new Point(2, 5) };
+        new HullTree(points);
+
+        assertEquals("(3, 0)", points[0].toString(), "Given points should not be reordered.");
+        assertTrue(new HullTree(new Point[0]).hull().isEmpty(), "Empty tree should have an empty hull.");
+    }
+
+    /**
+     * Test for removeHull() method.
+     * Helps ensure range queries only use the points left after the hull is
+     * removed.
+     */
+    @Test
+    public void testRemoveHull() {
+        Point[] points = {
+                new Point(0, 0),
+                new Point(4, 0),
+                new Point(4, 4),
+                new Point(0, 4),
+                new Point(1, 1),
+                new Point(3, 1),
+                new Point(2, 3)
+        };
+
+        HullTree tree = new HullTree(points);
+        List<Point> removed = tree.removeHull();
+
+        assertEquals("[(0, 0), (4, 0), (4, 4), (0, 4)]", removed.toString(), "Outer square should be removed.");
+        assertEquals(3, tree.size(), "Three points should be left.");
+        assertEquals("[(1, 1), (3, 1), (2, 3)]", tree.hull().toString(), "Hull should use the points left.");
+        assertEquals("[(1, 1), (2, 3)]", tree.rangeHull(0, 2).toString(), "Range hull should use the points left.");
+        assertTrue(tree.rangeHull(4, 4).isEmpty(), "Range with only removed points should have an empty hull.");
+    }
+}
@@ -0,0 +1,143 @@
+package test;
+
+import main.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit tests for the PointFile class.
+ * Test determines if points are read from text files correctly, and malformed
+ * lines are reported with the right line numbers, through assertions.
+ */
+public class PointFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Helper that writes text to a file in the temporary directory.
+     */
+    private Path write(String text) throws IOException {
+        Path path = tempDir.resolve("points.txt");
+        Files.write(path, text.getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+
+    /**
+     * Test for readText() method.
+     * Helps ensure commas, spaces, tabs, signs, blank lines, comments and CRLF
+     * line breaks are all read correctly.
+     */
+    @Test
+    public void testReadFormats() throws IOException {
+        Path path = write("# x,y\n"
+                + "3,-4\n"
+                + "  -10 , 7\r\n"
+                + "\n"
+                + "+5\t6\n"
+                + "2147483647,-2147483648");
+
+        PointFile file = PointFile.readText(path);
+
+        assertAll("Testing test cases for testReadFormats()",
+                () -> assertEquals(4, file.size(), "Should read four points."),
+                () -> assertArrayEquals(new int[] { 3, -10, 5, 2147483647 }, file.xs, "x coordinates"),
+                () -> assertArrayEquals(new int[] { -4, 7, 6, -2147483648 }, file.ys, "y coordinates"),
+                () -> assertEquals(4, file.toPoints().length, "Every point should be built."),
+                () -> assertEquals(0, file.getMalformedCount(), "No lines should be malformed."),
+                () -> assertEquals("(-10, 7)", file.toPoints()[1].toString(), "Points should match the arrays."));
+    }
+
+    /**
+     * Test for getMalformedLines() method.
+     * Helps ensure malformed lines are left out and reported with their line
+     * numbers.
+     */
+    @Test
+    public void testMalformedLines() throws IOException {
+        Path path = write("1,2\n"
+                + "x,y\n"
+                + "3,\n"
+                + "4,5,6\n"
+                + "7,99999999999\n"
+                + "8-9\n"
+                + "10,11\n"
+                + "12,13\rjunk\n"
+                + "\r14,15\r\n");
+
+        PointFile file = PointFile.readText(path);
+
+        List<String> expectedLines = List.of(
+                "Line 2: expected an integer for x",
+                "Line 3: expected an integer for y",
+                "Line 4: unexpected text after y",
+                "Line 5: y is out of range",
+                "Line 6: expected a comma or space after x",
+                "Line 8: unexpected text after y",
+                "Line 9: expected an integer for x");
+
+        assertEquals(2, file.size(), "Only the two good lines should be read.");
+        assertEquals("[(1, 2), (10, 11)]", Arrays.toString(file.toPoints()), "Points should close the gaps.");
+        assertArrayEquals(new int[] { 1, 10 }, file.xs, "x array should hold only the points read.");
+        assertArrayEquals(new int[] { 2, 11 }, file.ys, "y array should hold only the points read.");
+        assertEquals(file.size(), file.xs.length, "Arrays should be trimmed to the points read.");
+        assertEquals(7, file.getMalformedCount(), "Seven lines should be malformed.");
+        assertEquals(expectedLines, file.getMalformedLines(), "Malformed lines should be reported in order.");
+    }
+
+    /**
+     * Test for readText() method with many small chunks on several threads.
+     * Helps ensure points keep their file order and line numbers stay right
+     * across chunk boundaries.
+     */
+    @Test
+    public void testReadChunks() throws IOException {
+        Random random = new Random(29);
+        int n = 5000;
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextInt();
+            ys[i] = random.nextInt();
+            text.append(xs[i]).append(',').append(ys[i]).append('\n');
+            if (i % 1000 == 999) {
+                text.append("bad line\n"); // Lines 1001, 2002, 3003, ...
+            }
+        }
+        Path path = write(text.toString());
+
+        PointFile file = PointFile.readText(path, 4, 1000);
+
+        assertEquals(n, file.size(), "Every good line should be read.");
+        assertArrayEquals(xs, file.xs, "x coordinates should be in file order.");
+        assertArrayEquals(ys, file.ys, "y coordinates should be in file order.");
+        assertEquals(List.of(
+                "Line 1001: expected an integer for x",
+                "Line 2002: expected an integer for x",
+                "Line 3003: expected an integer for x",
+                "Line 4004: expected an integer for x",
+                "Line 5005: expected an integer for x"), file.getMalformedLines(),
+                "Line numbers should count every chunk before.");
+    }
+
+    /**
+     * Test for readText() method on an empty file and with bad arguments.
+     */
+    @Test
+    public void testEmptyAndInvalid() throws IOException {
+        Path path = write("");
+
+        assertEquals(0, PointFile.readText(path).size(), "Empty file should have no points.");
+        assertThrows(IllegalArgumentException.class, () -> PointFile.readText(path, 0),
+                "Expected IllegalArgumentException for no threads");
+    }
+}